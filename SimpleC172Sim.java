@@ -1,13 +1,12 @@
 import java.awt.geom.AffineTransform;
 import java.awt.*;
 import java.awt.event.*;
+import java.util.ArrayList;
 import javax.swing.*;
 
 public class SimpleC172Sim extends JPanel implements ActionListener, KeyListener {
 
     // Aircraft parameters (Cessna 172 approximations)
-    // Mass range covers light/normal/heavy loading configurations
-    double mass       = 1100.0; 
     double wingArea   = 16.2;  
     double g          = 9.81;   
     double rhoSL      = 1.225;  
@@ -28,12 +27,8 @@ public class SimpleC172Sim extends JPanel implements ActionListener, KeyListener
     double windX = 0.0; 
     double windZ = 0.0; 
 
-    // Flight state
-    double x     = 0.0;
-    double z     = 100.0;  
-    double vx    = 50.0;   
-    double vz    = 0.0;    
-    double pitch = Math.toRadians(5); 
+    // Flight state, loading and aero model of the main aircraft (see Aircraft)
+    Aircraft aircraft = new Aircraft();
 
     double Cm_alpha = -0.05; 
 
@@ -42,38 +37,46 @@ public class SimpleC172Sim extends JPanel implements ActionListener, KeyListener
     double elevator     = 0.0;  
     double trimElevator = 0.0;  
     double flaps        = 0.0;  
-    double cgPosition   = 0.0;  
-
-    // Aerodynamic model flags
-    boolean useEnhancedStall = false;
-
-    // Linear model: pure linear lift curve, no stall. Used for theory comparison.
-    // Demonstrates where thin airfoil / lifting line theory breaks down near stall.
-    boolean useLinearModel = false;
 
     // Stall warning
-    boolean stallWarning          = false;
     double  stallWarningThreshold = 0.85;
 
-    // Diagnostics
-    double  aoa     = 0.0;
-    boolean stalled = false;
-
-    // Current aerodynamic coefficients exposed for HUD and plot panel
-    double currentCl = 0.0;
-    double currentCd = 0.0;
-    double currentCm = 0.0;
-
     // Simulation timing
     double dt          = 0.02;
     double simTime     = 0.0;
     double nextLogTime = 0.0;
     Timer  timer;
 
+    // Time acceleration: each frame owes (wall time since last frame x selected rate) of
+    // simulated time, paid off in sub-steps batched before a single repaint. The batch is
+    // capped at half the timer period; when it can't pay the debt, the rest is dropped and
+    // the achieved rate falls below the selected one instead of lagging behind wall time.
+    static final int[] TIME_ACCEL_RATES = {1, 2, 4, 8, 16, 32, 64};
+    int     requestedTimeAccel = 1;
+    double  simTimeDebt        = 0.0;   // s of simulated time owed to wall time
+    boolean budgetLimited      = false; // last batch hit the frame budget
+    double  achievedTimeAccel  = 1.0;   // smoothed simulated seconds per wall second (HUD only)
+    long    lastFrameNanos     = 0;
+
+    // Lockstep ensemble: one ghost per aero model (optionally per mass/CG variant), all
+    // started from the main aircraft's state and driven by the same controls every step.
+    // Divergence is the position separation from the main aircraft, in metres. Changing
+    // the main aircraft's model, mass or CG restarts the ensemble so histories never mix.
+    static final String[] ENSEMBLE_MODELS = {"LIN", "NL-b", "NL-e"};
+    static final Color[]  ENSEMBLE_COLORS = {Color.BLUE, new Color(140, 80, 0), new Color(120, 0, 160)};
+    static final int      HISTORY_TICKS   = 3000; // per-tick divergence kept: 60 s at dt = 0.02
+
+    Aircraft[] ensemble;
+    double[]   divergence, maxDivergence;
+    double[][] divergenceHistory; // ring buffer [ghost][tick]
+    int        historyHead, historyCount;
+
     // UI references
     JComboBox<String> weightBox;
     JSlider densitySlider, cgSlider, windSlider;
     JCheckBox enhancedStallBox, linearModelBox;
+    JComboBox<String> timeAccelBox;
+    JCheckBox ensembleBox, variantsBox;
     CoeffPlotPanel plotPanel;
 
     private void refocusSim() { requestFocusInWindow(); }
@@ -151,9 +154,9 @@ public class SimpleC172Sim extends JPanel implements ActionListener, KeyListener
 
     // Constructor
     public SimpleC172Sim(double initAlt, double initSpeed, double initThrottle) {
-        z        = initAlt;
-        vx       = initSpeed;
-        throttle = initThrottle;
+        aircraft.z  = initAlt;
+        aircraft.vx = initSpeed;
+        throttle    = initThrottle;
 
         setPreferredSize(new Dimension(900, 700));
         setBackground(Color.CYAN);
@@ -181,18 +184,23 @@ public class SimpleC172Sim extends JPanel implements ActionListener, KeyListener
         weightBox.setFocusable(false);
         weightBox.addActionListener(e -> {
             switch (weightBox.getSelectedIndex()) {
-                case 0: mass = 900;  break;
-                case 1: mass = 1100; break;
-                case 2: mass = 1400; break;
+                case 0: aircraft.mass = 900;  break;
+                case 1: aircraft.mass = 1100; break;
+                case 2: aircraft.mass = 1400; break;
             }
+            if (ensemble != null) startEnsemble();
             refocusSim();
         });
-        mass = 1100;
+        aircraft.mass = 1100;
         physicsPanel.add(weightBox);
 
         physicsPanel.add(makeLabel("CG Position:"));
         cgSlider = makeSlider(-100, 100, 0, 50);
-        cgSlider.addChangeListener(e -> { cgPosition = cgSlider.getValue() / 100.0; refocusSim(); });
+        cgSlider.addChangeListener(e -> {
+            aircraft.cgPosition = cgSlider.getValue() / 100.0;
+            if (ensemble != null && !cgSlider.getValueIsAdjusting()) startEnsemble();
+            refocusSim();
+        });
         physicsPanel.add(cgSlider);
 
         physicsPanel.add(makeLabel("Headwind (+) / Tailwind (-):"));
@@ -201,13 +209,34 @@ public class SimpleC172Sim extends JPanel implements ActionListener, KeyListener
         physicsPanel.add(windSlider);
 
         enhancedStallBox = makeCheckbox("Enhanced Stall Model", Color.BLACK);
-        enhancedStallBox.addActionListener(e -> { useEnhancedStall = enhancedStallBox.isSelected(); refocusSim(); });
+        enhancedStallBox.addActionListener(e -> { aircraft.useEnhancedStall = enhancedStallBox.isSelected(); if (ensemble != null) startEnsemble(); refocusSim(); });
         physicsPanel.add(enhancedStallBox);
 
         linearModelBox = makeCheckbox("Linear Aero Model", Color.YELLOW);
-        linearModelBox.addActionListener(e -> { useLinearModel = linearModelBox.isSelected(); refocusSim(); });
+        linearModelBox.addActionListener(e -> { aircraft.useLinearModel = linearModelBox.isSelected(); if (ensemble != null) startEnsemble(); refocusSim(); });
         physicsPanel.add(linearModelBox);
 
+        physicsPanel.add(makeLabel("Time Acceleration:"));
+        String[] rateNames = new String[TIME_ACCEL_RATES.length];
+        for (int i = 0; i < rateNames.length; i++) rateNames[i] = TIME_ACCEL_RATES[i] + "×";
+        timeAccelBox = new JComboBox<>(rateNames);
+        timeAccelBox.setPreferredSize(new Dimension(80, 25));
+        timeAccelBox.setFocusable(false);
+        timeAccelBox.addActionListener(e -> {
+            requestedTimeAccel = TIME_ACCEL_RATES[timeAccelBox.getSelectedIndex()];
+            simTimeDebt        = 0.0;
+            refocusSim();
+        });
+        physicsPanel.add(timeAccelBox);
+
+        ensembleBox = makeCheckbox("Ensemble Ghosts", Color.BLACK);
+        ensembleBox.addActionListener(e -> { if (ensembleBox.isSelected()) startEnsemble(); else ensemble = null; refocusSim(); });
+        physicsPanel.add(ensembleBox);
+
+        variantsBox = makeCheckbox("+ Mass/CG Variants", Color.BLACK);
+        variantsBox.addActionListener(e -> { if (ensemble != null) startEnsemble(); refocusSim(); });
+        physicsPanel.add(variantsBox);
+
         JButton plotBtn = new JButton("Show Coeff Plots");
         plotBtn.setFocusable(false);
         plotBtn.addActionListener(e -> {
@@ -231,56 +260,57 @@ public class SimpleC172Sim extends JPanel implements ActionListener, KeyListener
     private JCheckBox makeCheckbox(String t, Color fg)              { JCheckBox c = new JCheckBox(t); c.setForeground(fg); c.setFocusable(false); return c; }
     private JSlider   makeSlider  (int mn, int mx, int v, int tick) { JSlider s = new JSlider(mn, mx, v); s.setMajorTickSpacing(tick); s.setPaintTicks(true); s.setPaintLabels(true); s.setFocusable(false); return s; }
 
-    public void step() {
+    // Advances one aircraft by dt using the shared pilot controls and environment.
+    void integrate(Aircraft a) {
         // Airspeed
-        double airspeedX = vx - windX;
-        double airspeedZ = vz - windZ;
+        double airspeedX = a.vx - windX;
+        double airspeedZ = a.vz - windZ;
         double speed = Math.max(1.0, Math.sqrt(airspeedX * airspeedX + airspeedZ * airspeedZ));
 
         // Flight path angle (gamma)
         double gamma = Math.atan2(airspeedZ, airspeedX);
 
         // Angle of attack
-        aoa = pitch - gamma;
+        a.aoa = a.pitch - gamma;
 
         double flapDeg     = flaps * 40.0;
         double flapStallMargin = 0.008 * flapDeg;
         double effStallAoA = stallAoA + Math.toRadians(0.2) * flapDeg;
         double effClMax    = clMaxClean + 0.4 * (flapDeg / 40.0);
 
-        stallWarning = Math.abs(aoa) >= (effStallAoA * stallWarningThreshold);
-        stalled      = Math.abs(aoa) >  effStallAoA;
+        a.stallWarning = Math.abs(a.aoa) >= (effStallAoA * stallWarningThreshold);
+        a.stalled      = Math.abs(a.aoa) >  effStallAoA;
 
-        double[] coeffs = computeCoeffs(aoa, flaps, cgPosition, useEnhancedStall, useLinearModel);
-        currentCl = coeffs[0];
-        currentCd = coeffs[1];
-        currentCm = coeffs[2];
+        double[] coeffs = computeCoeffs(a.aoa, flaps, a.cgPosition, a.useEnhancedStall, a.useLinearModel);
+        a.currentCl = coeffs[0];
+        a.currentCd = coeffs[1];
+        a.currentCm = coeffs[2];
 
         // Density: linear lapse approximation. Valid within ~4000m of sea level.
         double rho = rhoSL * Math.max(0.5, Math.min(2.0, 1.0 - densityAlt / 10000.0));
         double q   = 0.5 * rho * speed * speed; // dynamic pressure
 
-        double L = q * wingArea * currentCl;
-        double D = q * wingArea * currentCd;
+        double L = q * wingArea * a.currentCl;
+        double D = q * wingArea * a.currentCd;
         double T = throttle * maxThrust;
 
-        double fx = T * Math.cos(pitch) - D * Math.cos(gamma) - L * Math.sin(gamma);
-        double fz = T * Math.sin(pitch) - D * Math.sin(gamma) + L * Math.cos(gamma) - mass * g;
+        double fx = T * Math.cos(a.pitch) - D * Math.cos(gamma) - L * Math.sin(gamma);
+        double fz = T * Math.sin(a.pitch) - D * Math.sin(gamma) + L * Math.cos(gamma) - a.mass * g;
 
-        vx += (fx / mass) * dt;
-        vz += (fz / mass) * dt;
-        x  += vx * dt;
-        z  += vz * dt;
+        a.vx += (fx / a.mass) * dt;
+        a.vz += (fz / a.mass) * dt;
+        a.x  += a.vx * dt;
+        a.z  += a.vz * dt;
 
-        if (z < 0) { z = 0; vz = 0; timer.stop(); }
+        if (a.z < 0) { a.z = 0; a.vz = 0; a.grounded = true; }
 
         //Pitch dynamics
-        double cgStabilityFactor = 0.08 * cgPosition;
-        double cgElevatorFactor  = 1.0  + 0.25 * cgPosition;
+        double cgStabilityFactor = 0.08 * a.cgPosition;
+        double cgElevatorFactor  = 1.0  + 0.25 * a.cgPosition;
 
         double stallCmMod = 0.0;
-        if (stalled && useEnhancedStall) {
-            double aoaOver = Math.abs(aoa) - effStallAoA;
+        if (a.stalled && a.useEnhancedStall) {
+            double aoaOver = Math.abs(a.aoa) - effStallAoA;
             stallCmMod = -0.02 * (aoaOver / Math.toRadians(10));
         }
 
@@ -288,24 +318,83 @@ public class SimpleC172Sim extends JPanel implements ActionListener, KeyListener
         double totalElevator     = elevator + trimElevator;
 
         // Elevator: direct pitch rate input (simplified actuator model)
-        pitch += totalElevator * (0.008 / cgElevatorFactor);
+        a.pitch += totalElevator * (0.008 / cgElevatorFactor);
 
         double targetAoA = trimElevator * 0.1;
-        pitch += effectiveCm_alpha * (aoa - targetAoA) * 0.003;
-        pitch  = Math.max(Math.toRadians(-40), Math.min(Math.toRadians(40), pitch));
+        a.pitch += effectiveCm_alpha * (a.aoa - targetAoA) * 0.003;
+        a.pitch  = Math.max(Math.toRadians(-40), Math.min(Math.toRadians(40), a.pitch));
+    }
+
+    public void step() {
+        integrate(aircraft);
+        if (aircraft.grounded) timer.stop();
+
+        if (ensemble != null) stepEnsemble();
 
         simTime += dt;
         if (simTime >= nextLogTime) {
             System.out.printf(
                     "t=%.1f | alt=%.1f | V=%.1f | AoA=%.1f° | CL=%.3f | CD=%.3f | Cm=%.4f | model=%s | stalled=%b%n",
-                    simTime, z, Math.sqrt(vx*vx + vz*vz), Math.toDegrees(aoa),
-                    currentCl, currentCd, currentCm,
-                    useLinearModel ? "LINEAR" : (useEnhancedStall ? "NL-enhanced" : "NL-basic"),
-                    stalled);
+                    simTime, aircraft.z, Math.sqrt(aircraft.vx*aircraft.vx + aircraft.vz*aircraft.vz), Math.toDegrees(aircraft.aoa),
+                    aircraft.currentCl, aircraft.currentCd, aircraft.currentCm,
+                    aircraft.useLinearModel ? "LINEAR" : (aircraft.useEnhancedStall ? "NL-enhanced" : "NL-basic"),
+                    aircraft.stalled);
+            if (ensemble != null) {
+                StringBuilder sb = new StringBuilder("  ensemble divergence (m):");
+                for (int i = 0; i < ensemble.length; i++)
+                    sb.append(String.format(" %s=%.1f", ensemble[i].label, divergence[i]));
+                System.out.println(sb);
+            }
             nextLogTime += 1.0;
         }
+    }
 
-        if (plotPanel != null && plotPanel.isDisplayable()) plotPanel.repaint();
+    // Builds the ghost set from the main aircraft's current state and configuration.
+    // A ghost whose settings match the main aircraft or an earlier ghost would only
+    // retrace that trajectory, so it is skipped.
+    void startEnsemble() {
+        int perModel = variantsBox.isSelected() ? 5 : 1;
+        ArrayList<Aircraft> ghosts = new ArrayList<>();
+
+        for (int m = 0; m < ENSEMBLE_MODELS.length; m++) {
+            for (int v = 0; v < perModel; v++) {
+                Aircraft a = new Aircraft(m, ENSEMBLE_MODELS[m]);
+                a.copyFrom(aircraft);
+                a.useLinearModel   = (m == 0);
+                a.useEnhancedStall = (m == 2);
+                switch (v) {
+                    case 1: a.mass = 900;          a.label += " 900kg";  break;
+                    case 2: a.mass = 1400;         a.label += " 1400kg"; break;
+                    case 3: a.cgPosition =  0.5;   a.label += " CG+0.5"; break;
+                    case 4: a.cgPosition = -0.5;   a.label += " CG-0.5"; break;
+                }
+                boolean duplicate = a.sameConfig(aircraft);
+                for (Aircraft o : ghosts) duplicate |= a.sameConfig(o);
+                if (!duplicate) ghosts.add(a);
+            }
+        }
+
+        ensemble          = ghosts.toArray(new Aircraft[0]);
+        divergence        = new double[ensemble.length];
+        maxDivergence     = new double[ensemble.length];
+        divergenceHistory = new double[ensemble.length][HISTORY_TICKS];
+        historyHead       = 0;
+        historyCount      = 0;
+    }
+
+    // Advances every ghost in lockstep with the main aircraft and records divergence.
+    void stepEnsemble() {
+        for (int i = 0; i < ensemble.length; i++) {
+            Aircraft a = ensemble[i];
+            if (!a.grounded) integrate(a);
+
+            double dx = a.x - aircraft.x, dz = a.z - aircraft.z;
+            divergence[i]    = Math.sqrt(dx * dx + dz * dz);
+            maxDivergence[i] = Math.max(maxDivergence[i], divergence[i]);
+            divergenceHistory[i][historyHead] = divergence[i];
+        }
+        historyHead  = (historyHead + 1) % HISTORY_TICKS;
+        historyCount = Math.min(HISTORY_TICKS, historyCount + 1);
     }
 
     @Override
@@ -314,23 +403,46 @@ public class SimpleC172Sim extends JPanel implements ActionListener, KeyListener
         int w = getWidth(), h = getHeight();
 
         // Ground and runway markings
-        int groundY = (int)(h / 2.0 - (0 - z) * 3.0);
+        int groundY = (int)(h / 2.0 - (0 - aircraft.z) * 3.0);
         g.setColor(new Color(60, 180, 60));
         g.fillRect(0, groundY - 20, w, 40);
         g.setColor(Color.LIGHT_GRAY);
         for (int i = -200; i <= 200; i++) {
-            int sx = (int)(w / 2.0 + (i * 50.0 - x) * 3.0);
+            int sx = (int)(w / 2.0 + (i * 50.0 - aircraft.x) * 3.0);
             if (sx >= -10 && sx <= w + 10) g.fillRect(sx - 4, groundY - 12, 8, 8);
         }
 
         Graphics2D g2 = (Graphics2D) g;
-        if (stallWarning) { g2.setColor(new Color(255, 165, 0, 100)); g2.fillRect(0, 0, w, h); }
+        if (aircraft.stallWarning) { g2.setColor(new Color(255, 165, 0, 100)); g2.fillRect(0, 0, w, h); }
 
-        // Aircraft body
+        // Ensemble ghosts, placed relative to the main aircraft at the view centre
         AffineTransform old = g2.getTransform();
+        if (ensemble != null) {
+            // Only the first ghost of each model is labelled, staggered by model, so
+            // the labels stay readable while the ghosts still overlap the main aircraft.
+            boolean[] labelled = new boolean[ENSEMBLE_MODELS.length];
+            for (Aircraft a : ensemble) {
+                double gx = w / 2.0 + (a.x - aircraft.x) * 3.0;
+                double gy = h / 2.0 - (a.z - aircraft.z) * 3.0;
+                Color c = ENSEMBLE_COLORS[a.model];
+                g2.setColor(new Color(c.getRed(), c.getGreen(), c.getBlue(), 90));
+                g2.translate(gx, gy);
+                g2.rotate(-a.pitch);
+                g2.drawRect(-30, -4, 60, 8);
+                g2.drawPolygon(new int[]{30, 15, 15}, new int[]{0, -10, 10}, 3);
+                g2.setTransform(old);
+                if (!labelled[a.model]) {
+                    g2.setColor(c);
+                    g2.drawString(ENSEMBLE_MODELS[a.model], (int) gx + 34, (int) gy - 14 - 12 * a.model);
+                    labelled[a.model] = true;
+                }
+            }
+        }
+
+        // Aircraft body
         g2.setColor(Color.RED);
         g2.translate(w / 2.0, h / 2.0);
-        g2.rotate(-pitch);
+        g2.rotate(-aircraft.pitch);
         g2.fillRect(-30, -4, 60, 8);
         g2.fillPolygon(new int[]{30, 15, 15}, new int[]{0, -10, 10}, 3);
 
@@ -346,40 +458,120 @@ public class SimpleC172Sim extends JPanel implements ActionListener, KeyListener
         // HUD
         g.setColor(Color.BLACK);
         int yp = 20;
-        g.drawString(String.format("Alt: %.1f m",    z),                           10, yp); yp += 15;
-        g.drawString(String.format("Speed: %.1f m/s", Math.sqrt(vx*vx + vz*vz)),  10, yp); yp += 15;
-        g.drawString(String.format("Pitch: %.1f°",   Math.toDegrees(pitch)),       10, yp); yp += 15;
-        g.drawString(String.format("AoA: %.1f°",     Math.toDegrees(aoa)),         10, yp); yp += 15;
+        Aircraft ac = aircraft;
+        g.drawString(String.format("Alt: %.1f m",    ac.z),                            10, yp); yp += 15;
+        g.drawString(String.format("Speed: %.1f m/s", Math.sqrt(ac.vx*ac.vx + ac.vz*ac.vz)), 10, yp); yp += 15;
+        g.drawString(String.format("Pitch: %.1f°",   Math.toDegrees(ac.pitch)),        10, yp); yp += 15;
+        g.drawString(String.format("AoA: %.1f°",     Math.toDegrees(ac.aoa)),          10, yp); yp += 15;
 
         // Live coefficient readout — these are the exact values used in force calculations
         g.setColor(new Color(0, 80, 180));
-        g.drawString(String.format("CL: %.3f",  currentCl), 10, yp); yp += 15;
-        g.drawString(String.format("CD: %.3f",  currentCd), 10, yp); yp += 15;
-        g.drawString(String.format("Cm: %.4f",  currentCm), 10, yp); yp += 15;
+        g.drawString(String.format("CL: %.3f",  ac.currentCl), 10, yp); yp += 15;
+        g.drawString(String.format("CD: %.3f",  ac.currentCd), 10, yp); yp += 15;
+        g.drawString(String.format("Cm: %.4f",  ac.currentCm), 10, yp); yp += 15;
 
         g.setColor(Color.BLACK);
-        if (stallWarning) { g.setColor(Color.ORANGE); g.drawString("⚠ STALL WARNING", 10, yp); g.setColor(Color.BLACK); }
-        else               g.drawString("Stalled: " + stalled, 10, yp);
+        if (ac.stallWarning) { g.setColor(Color.ORANGE); g.drawString("⚠ STALL WARNING", 10, yp); g.setColor(Color.BLACK); }
+        else                  g.drawString("Stalled: " + ac.stalled, 10, yp);
         yp += 15;
 
         g.drawString(String.format("Throttle: %.2f",  throttle),      10, yp); yp += 15;
         g.drawString(String.format("Elevator: %.2f",  elevator),      10, yp); yp += 15;
         g.drawString(String.format("Trim: %.2f",      trimElevator),  10, yp); yp += 15;
         g.drawString(String.format("Flaps: %.0f%%",   flaps * 100),   10, yp); yp += 15;
-        g.drawString(String.format("CG: %.2f",        cgPosition),    10, yp); yp += 15;
+        g.drawString(String.format("CG: %.2f",        ac.cgPosition), 10, yp); yp += 15;
         g.drawString(String.format("Wind: %.1f m/s",  windX),         10, yp); yp += 15;
         g.drawString(String.format("Density Alt: %.0f m", densityAlt),10, yp); yp += 15;
-        g.drawString(String.format("Mass: %.0f kg",   mass),          10, yp); yp += 15;
+        g.drawString(String.format("Mass: %.0f kg",   ac.mass),       10, yp); yp += 15;
+
+        // Red while the physics batch is capped by the frame budget
+        g.setColor(budgetLimited ? new Color(180, 0, 0) : Color.BLACK);
+        g.drawString(String.format("Time: set %d×, actual %.1f×",
+                requestedTimeAccel, achievedTimeAccel), 10, yp); yp += 15;
 
-        g.setColor(useLinearModel ? Color.BLUE : new Color(180, 0, 0));
-        g.drawString("Model: " + (useLinearModel ? "LINEAR"
-                : (useEnhancedStall ? "NONLINEAR (Enhanced)" : "NONLINEAR (Basic)")), 10, yp); yp += 15;
+        g.setColor(ac.useLinearModel ? Color.BLUE : new Color(180, 0, 0));
+        g.drawString("Model: " + (ac.useLinearModel ? "LINEAR"
+                : (ac.useEnhancedStall ? "NONLINEAR (Enhanced)" : "NONLINEAR (Basic)")), 10, yp); yp += 15;
 
         g.setColor(Color.BLACK);
-        g.drawString("Controls: Arrows, Q/A=Trim, F/G=Flaps", 10, yp);
+        g.drawString("Controls: Arrows, Q/A=Trim, F/G=Flaps", 10, yp); yp += 25;
+
+        // Ensemble divergence table below the HUD. Columns are placed with FontMetrics
+        // since the font is proportional; each row ends with a trace of its history.
+        if (ensemble != null) {
+            FontMetrics fm = g.getFontMetrics();
+            int labelW = 0;
+            for (Aircraft a : ensemble) labelW = Math.max(labelW, fm.stringWidth(a.label));
+            int numW   = fm.stringWidth("00000.0");
+            int curEnd = 10 + labelW + 8 + numW;
+            int maxEnd = curEnd + 8 + fm.stringWidth("max ") + numW;
+            int trX    = maxEnd + 8, trW = 60;
+
+            g.drawString("Divergence from Main (m):", 10, yp); yp += 15;
+            for (int i = 0; i < ensemble.length; i++) {
+                Aircraft a = ensemble[i];
+                String cur = String.format("%.1f", divergence[i]);
+                String max = String.format("max %.1f", maxDivergence[i]);
+                g.setColor(ENSEMBLE_COLORS[a.model]);
+                g.drawString(a.label, 10, yp);
+                g.drawString(cur, curEnd - fm.stringWidth(cur), yp);
+                g.drawString(max, maxEnd - fm.stringWidth(max), yp);
+                drawDivergenceTrace(g, i, trX, yp - 10, trW, 10);
+                if (a.grounded) g.drawString("(ground)", trX + trW + 6, yp);
+                yp += 15;
+            }
+            g.setColor(Color.BLACK);
+        }
     }
 
-    @Override public void actionPerformed(ActionEvent e) { step(); repaint(); }
+    // Sparkline of one ghost's recorded per-tick divergence, scaled to its running max.
+    void drawDivergenceTrace(Graphics g, int ghost, int ox, int oy, int tw, int th) {
+        if (historyCount < 2) return;
+        double scale = Math.max(1.0, maxDivergence[ghost]);
+        int[] px = new int[tw], py = new int[tw];
+        for (int j = 0; j < tw; j++) {
+            int ticksAgo = (int)((long)(tw - 1 - j) * (historyCount - 1) / (tw - 1));
+            int idx      = (historyHead - 1 - ticksAgo + HISTORY_TICKS) % HISTORY_TICKS;
+            px[j] = ox + j;
+            py[j] = oy + th - (int)(divergenceHistory[ghost][idx] / scale * th);
+        }
+        g.drawPolyline(px, py, tw);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        long   frameStart = System.nanoTime();
+        double simStart   = simTime;
+        double periodSec  = timer.getDelay() / 1000.0;
+        double wallSec    = lastFrameNanos > 0 ? (frameStart - lastFrameNanos) / 1e9 : periodSec;
+        lastFrameNanos    = frameStart;
+
+        // Long gaps (window drags, GC pauses) are capped so they don't become a catch-up burst.
+        simTimeDebt += Math.min(wallSec, 4 * periodSec) * requestedTimeAccel;
+
+        // Run sub-steps back to back; nothing is repainted in between.
+        long budgetEnd = frameStart + (long)(0.5 * periodSec * 1e9);
+        budgetLimited  = false;
+        while (simTimeDebt >= dt && timer.isRunning()) {
+            if (System.nanoTime() > budgetEnd) {
+                budgetLimited = true;
+                simTimeDebt   = 0.0;
+                break;
+            }
+            step();
+            simTimeDebt -= dt;
+            if (aircraft.stallWarning && requestedTimeAccel > 1) {
+                // Stall warning always hands real-time control back to the pilot.
+                timeAccelBox.setSelectedIndex(0);
+                break;
+            }
+        }
+
+        if (wallSec > 0) achievedTimeAccel += 0.1 * ((simTime - simStart) / wallSec - achievedTimeAccel);
+
+        if (plotPanel != null && plotPanel.isDisplayable()) plotPanel.repaint();
+        repaint();
+    }
 
     @Override
     public void keyPressed(KeyEvent e) {
@@ -397,6 +589,61 @@ public class SimpleC172Sim extends JPanel implements ActionListener, KeyListener
     @Override public void keyReleased(KeyEvent e) {}
     @Override public void keyTyped   (KeyEvent e) {}
 
+    // State and aero configuration of one aircraft: the main aircraft or an ensemble ghost.
+    static class Aircraft {
+        int     model;  // index into ENSEMBLE_MODELS; unused for the main aircraft
+        String  label;
+
+        // Mass range covers light/normal/heavy loading configurations
+        double  mass       = 1100.0;
+        double  cgPosition = 0.0;
+
+        // Aerodynamic model flags
+        boolean useEnhancedStall = false;
+
+        // Linear model: pure linear lift curve, no stall. Used for theory comparison.
+        // Demonstrates where thin airfoil / lifting line theory breaks down near stall.
+        boolean useLinearModel = false;
+
+        // Flight state
+        double  x     = 0.0;
+        double  z     = 100.0;
+        double  vx    = 50.0;
+        double  vz    = 0.0;
+        double  pitch = Math.toRadians(5);
+
+        // Diagnostics
+        double  aoa          = 0.0;
+        boolean stalled      = false;
+        boolean stallWarning = false;
+        boolean grounded     = false;
+
+        // Current aerodynamic coefficients exposed for HUD and plot panel
+        double  currentCl = 0.0;
+        double  currentCd = 0.0;
+        double  currentCm = 0.0;
+
+        Aircraft() {}
+
+        Aircraft(int model, String label) {
+            this.model = model;
+            this.label = label;
+        }
+
+        void copyFrom(Aircraft o) {
+            mass = o.mass; cgPosition = o.cgPosition;
+            useEnhancedStall = o.useEnhancedStall; useLinearModel = o.useLinearModel;
+            x = o.x; z = o.z; vx = o.vx; vz = o.vz; pitch = o.pitch; aoa = o.aoa;
+            stalled = o.stalled; stallWarning = o.stallWarning; grounded = o.grounded;
+            currentCl = o.currentCl; currentCd = o.currentCd; currentCm = o.currentCm;
+        }
+
+        boolean sameConfig(Aircraft o) {
+            return mass == o.mass && cgPosition == o.cgPosition
+                    && useLinearModel == o.useLinearModel && useEnhancedStall == o.useEnhancedStall;
+        }
+    }
+
     static class CoeffPlotPanel extends JPanel {
         final SimpleC172Sim sim;
         static final int    M       = 55;   // margin px
@@ -513,14 +760,14 @@ public class SimpleC172Sim extends JPanel implements ActionListener, KeyListener
             drawCurve(g2, ox, oy, pw, ph, yMin, yMax, ci, true);
 
             // Current AoA cursor
-            int curX = Math.max(ox, Math.min(ox+pw, xToScreen(sim.aoa, ox, pw)));
+            int curX = Math.max(ox, Math.min(ox+pw, xToScreen(sim.aircraft.aoa, ox, pw)));
             float[] dash2 = {4f, 3f};
             g2.setColor(new Color(0, 150, 0));
             g2.setStroke(new BasicStroke(1.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, dash2, 0));
             g2.drawLine(curX, oy, curX, oy+ph);
 
             // Dot at current coefficient value on nonlinear curve
-            double[] cur = sim.computeCoeffs(sim.aoa, sim.flaps, sim.cgPosition, sim.useEnhancedStall, false);
+            double[] cur = sim.computeCoeffs(sim.aircraft.aoa, sim.flaps, sim.aircraft.cgPosition, sim.aircraft.useEnhancedStall, false);
             int dotY = Math.max(oy, Math.min(oy+ph, yToScreen(cur[ci], yMin, yMax, oy, ph)));
             g2.setStroke(new BasicStroke(1));
             g2.fillOval(curX - 4, dotY - 4, 8, 8);
@@ -552,7 +799,7 @@ public class SimpleC172Sim extends JPanel implements ActionListener, KeyListener
             int px = -1, py = -1;
             for (int i = 0; i <= N; i++) {
                 double a  = AOA_MIN + (AOA_MAX - AOA_MIN) * i / N;
-                double[] c = sim.computeCoeffs(a, sim.flaps, sim.cgPosition, sim.useEnhancedStall, linear);
+                double[] c = sim.computeCoeffs(a, sim.flaps, sim.aircraft.cgPosition, sim.aircraft.useEnhancedStall, linear);
                 int sx = xToScreen(a, ox, pw);
                 int sy = Math.max(oy-2, Math.min(oy+ph+2, yToScreen(c[ci], yMin, yMax, oy, ph)));
                 if (px >= 0) g2.drawLine(px, py, sx, sy);